@@ -0,0 +1,123 @@
+package com.github.cowwoc.boostmavenproject;
+
+import com.google.common.base.Preconditions;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the wall time and I/O volume of each build phase.
+ * <p>
+ * The measurements are written to {@value #FILENAME} in the build directory, using the keys
+ * {@code <phase>.millis} and {@code <phase>.bytes}, so that tools may compare them across builds.
+ */
+public final class BuildMetrics
+{
+	/**
+	 * The name of the file that metrics are written to.
+	 */
+	public static final String FILENAME = "boost-metrics.properties";
+	private final Path path;
+	private final Log log;
+
+	/**
+	 * Creates a new BuildMetrics.
+	 *
+	 * @param buildDirectory the build directory
+	 * @param log            the Maven logger
+	 * @throws NullPointerException if any of the arguments are null
+	 */
+	public BuildMetrics(Path buildDirectory, Log log)
+	{
+		Preconditions.checkNotNull(buildDirectory, "buildDirectory may not be null");
+		Preconditions.checkNotNull(log, "log may not be null");
+		this.path = buildDirectory.resolve(FILENAME);
+		this.log = log;
+	}
+
+	/**
+	 * Records the measurements of a build phase, replacing any previous measurements of the same phase.
+	 *
+	 * @param phase the name of the phase
+	 * @param nanos the wall time of the phase in nanoseconds
+	 * @param bytes the number of bytes that the phase wrote
+	 * @throws NullPointerException if phase is null
+	 * @throws IOException          if an I/O error occurs
+	 */
+	public void record(String phase, long nanos, long bytes) throws IOException
+	{
+		Preconditions.checkNotNull(phase, "phase may not be null");
+		long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+		if (log.isInfoEnabled())
+			log.info(phase + ": " + bytes + " bytes in " + millis + " ms");
+
+		Properties properties = load();
+		properties.setProperty(phase + ".millis", String.valueOf(millis));
+		properties.setProperty(phase + ".bytes", String.valueOf(bytes));
+		Files.createDirectories(path.getParent());
+		try (OutputStream out = Files.newOutputStream(path))
+		{
+			properties.store(out, null);
+		}
+	}
+
+	/**
+	 * @param phase the name of the phase
+	 * @return the wall time of the phase in milliseconds
+	 * @throws NullPointerException     if phase is null
+	 * @throws IllegalArgumentException if the phase was not recorded
+	 * @throws IOException              if an I/O error occurs
+	 */
+	public long getMillis(String phase) throws IOException
+	{
+		return get(phase + ".millis");
+	}
+
+	/**
+	 * @param phase the name of the phase
+	 * @return the number of bytes that the phase wrote
+	 * @throws NullPointerException     if phase is null
+	 * @throws IllegalArgumentException if the phase was not recorded
+	 * @throws IOException              if an I/O error occurs
+	 */
+	public long getBytes(String phase) throws IOException
+	{
+		return get(phase + ".bytes");
+	}
+
+	/**
+	 * @param key a property key
+	 * @return the value of the property
+	 * @throws IllegalArgumentException if the property does not exist
+	 * @throws IOException              if an I/O error occurs
+	 */
+	private long get(String key) throws IOException
+	{
+		String value = load().getProperty(key);
+		if (value == null)
+			throw new IllegalArgumentException(path + " does not contain " + key);
+		return Long.parseLong(value);
+	}
+
+	/**
+	 * @return the metrics that were recorded so far
+	 * @throws IOException if an I/O error occurs
+	 */
+	private Properties load() throws IOException
+	{
+		Properties result = new Properties();
+		if (Files.notExists(path))
+			return result;
+		try (InputStream in = Files.newInputStream(path))
+		{
+			result.load(in);
+		}
+		return result;
+	}
+}
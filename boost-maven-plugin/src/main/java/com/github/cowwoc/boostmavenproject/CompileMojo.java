@@ -7,6 +7,7 @@ import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -18,10 +19,14 @@ import org.twdata.maven.mojoexecutor.MojoExecutor.Element;
 import org.twdata.maven.mojoexecutor.MojoExecutor.ExecutionEnvironment;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 /**
@@ -62,6 +67,39 @@ public class CompileMojo
 	private String projectVersion;
 	@Parameter(property = "session", required = true, readonly = true)
 	private MavenSession session;
+	/**
+	 * The compiler launcher that wraps gcc under Linux (e.g. {@code ccache}). An empty value disables the
+	 * compiler cache.
+	 */
+	@Parameter(property = "boost.compilerLauncher", defaultValue = "ccache")
+	private String compilerLauncher;
+	/**
+	 * The directory that the compiler cache stores objects in.
+	 */
+	@Parameter(property = "boost.compilerCache.directory",
+		defaultValue = "${user.home}/.boost-maven-project/ccache")
+	private File compilerCacheDirectory;
+	/**
+	 * The maximum size of the compiler cache (e.g. {@code 5G}).
+	 */
+	@Parameter(property = "boost.compilerCache.maxSize", defaultValue = "5G")
+	private String compilerCacheMaxSize;
+	/**
+	 * True if the compiler cache hit rate should be reported at the end of the build.
+	 */
+	@Parameter(property = "boost.compilerCache.stats", defaultValue = "true")
+	private boolean compilerCacheStats;
+	/**
+	 * The directory that bootstrapped b2 engines are cached in.
+	 */
+	@Parameter(property = "boost.engineCache.directory",
+		defaultValue = "${user.home}/.boost-maven-project/b2")
+	private File engineCacheDirectory;
+	/**
+	 * True if b2 should be bootstrapped from source even if a cached engine exists.
+	 */
+	@Parameter(property = "boost.engineCache.skip", defaultValue = "false")
+	private boolean skipEngineCache;
 
 	@Override
 	public void execute()
@@ -103,12 +141,78 @@ public class CompileMojo
 		else if (classifier.startsWith("linux-") || classifier.startsWith("mac-"))
 		{
 			bootstrapCommand = ImmutableList.of("./bootstrap.sh");
-			b2Command.addAll(0, ImmutableList.of("./b2 install"));
+			b2Command.addAll(0, ImmutableList.of("./b2"));
 		}
 		else
 			throw new MojoExecutionException("Unexpected classifier: " + classifier);
 
-		Path boostDir = Paths.get(project.getBuild().getDirectory(), "dependency/boost");
+		Path buildDirectory = Paths.get(project.getBuild().getDirectory());
+		Path boostDir = buildDirectory.resolve("dependency/boost");
+		Log log = getLog();
+		BuildMetrics metrics = new BuildMetrics(buildDirectory, log);
+		Map<Path, BasicFileAttributes> filesBefore = getFiles(boostDir);
+		long start = System.nanoTime();
+		unpack(boostDir);
+		record(metrics, "unpack", start, boostDir, filesBefore);
+
+		CompilerCache compilerCache = getCompilerCache();
+		Map<String, String> b2Environment = new HashMap<>();
+		CompilerCache.Statistics compilerCacheBefore = null;
+		if (compilerCache != null)
+		{
+			Path userConfig = Paths.get(project.getBuild().getDirectory(), "user-config.jam");
+			if (log.isInfoEnabled())
+			{
+				log.info("Wrapping the compiler with " + compilerLauncher + " using " + userConfig + ". This " +
+					"replaces any user-config.jam in your home directory or BOOST_BUILD_PATH.");
+			}
+			try
+			{
+				compilerCache.writeUserConfig(userConfig, getToolset(), "g++");
+			}
+			catch (IOException e)
+			{
+				throw new MojoExecutionException("", e);
+			}
+			if (compilerCacheStats)
+				compilerCacheBefore = compilerCache.takeSnapshot();
+			b2Command.add("--user-config=" + userConfig.toAbsolutePath());
+			b2Environment.putAll(compilerCache.getEnvironment(boostDir));
+		}
+
+		// Build boost
+		start = System.nanoTime();
+		bootstrap(bootstrapCommand, boostDir);
+		record(metrics, "bootstrap", start, null, null);
+		filesBefore = getFiles(boostDir.resolve("lib"));
+		start = System.nanoTime();
+		ProcessBuilder b2Process = new ProcessBuilder(b2Command).directory(boostDir.toFile());
+		b2Process.environment().putAll(b2Environment);
+		exec(b2Process);
+		record(metrics, "compile", start, boostDir.resolve("lib"), filesBefore);
+
+		if (compilerCacheBefore != null)
+		{
+			try
+			{
+				compilerCache.logStatistics(compilerCacheBefore);
+			}
+			catch (IOException e)
+			{
+				// Statistics are informational, so they should not fail the build
+				log.warn("Could not read the compiler cache statistics", e);
+			}
+		}
+	}
+
+	/**
+	 * Unpacks the Boost sources.
+	 *
+	 * @param boostDir the directory to unpack into
+	 * @throws MojoExecutionException if the unpack operation fails
+	 */
+	void unpack(Path boostDir) throws MojoExecutionException
+	{
 		String sourcesArtifact = "boost-sources";
 
 		Element groupIdElement = new Element("groupId", projectGroupId);
@@ -124,10 +228,130 @@ public class CompileMojo
 		Plugin dependencyPlugin = MojoExecutor.plugin("org.apache.maven.plugins",
 			"maven-dependency-plugin", "3.1.1");
 		MojoExecutor.executeMojo(dependencyPlugin, "unpack", configuration, environment);
+	}
 
-		// Build boost
-		exec(new ProcessBuilder(bootstrapCommand).directory(boostDir.toFile()));
-		exec(new ProcessBuilder(b2Command).directory(boostDir.toFile()));
+	/**
+	 * @param directory a directory
+	 * @return the attributes of the files in the directory
+	 * @throws MojoExecutionException if an I/O error occurs
+	 * @see Mojos#getFiles(Path)
+	 */
+	private Map<Path, BasicFileAttributes> getFiles(Path directory) throws MojoExecutionException
+	{
+		try
+		{
+			return Mojos.getFiles(directory);
+		}
+		catch (IOException e)
+		{
+			throw new MojoExecutionException("", e);
+		}
+	}
+
+	/**
+	 * Records the measurements of a build phase. The phase's I/O volume is the size of the files that it
+	 * created or modified in its output directory; files left over from previous builds do not count.
+	 *
+	 * @param metrics     the build metrics
+	 * @param phase       the name of the phase
+	 * @param start       the value of {@link System#nanoTime()} when the phase started
+	 * @param output      the directory that the phase wrote to ({@code null} if the phase does not produce any
+	 *                    output worth measuring)
+	 * @param filesBefore the files in {@code output} before the phase started ({@code null} if {@code output}
+	 *                    is null)
+	 * @throws MojoExecutionException if an I/O error occurs
+	 */
+	private void record(BuildMetrics metrics, String phase, long start, Path output,
+		Map<Path, BasicFileAttributes> filesBefore) throws MojoExecutionException
+	{
+		long nanos = System.nanoTime() - start;
+		try
+		{
+			long bytes;
+			if (output == null)
+				bytes = 0;
+			else
+				bytes = Mojos.getBytesWritten(output, filesBefore);
+			metrics.record(phase, nanos, bytes);
+		}
+		catch (IOException e)
+		{
+			throw new MojoExecutionException("", e);
+		}
+	}
+
+	/**
+	 * Bootstraps the b2 engine, reusing a cached engine if one is available.
+	 *
+	 * @param bootstrapCommand the command that bootstraps the engine
+	 * @param boostDir         the Boost source directory
+	 * @throws MojoExecutionException if the bootstrap operation fails
+	 */
+	private void bootstrap(List<String> bootstrapCommand, Path boostDir) throws MojoExecutionException
+	{
+		if (skipEngineCache)
+		{
+			exec(new ProcessBuilder(bootstrapCommand).directory(boostDir.toFile()));
+			return;
+		}
+		EngineCache engineCache = new EngineCache(engineCacheDirectory.toPath(),
+			Mojos.projectToBoostVersion(projectVersion), getToolset(), getLog());
+		try
+		{
+			if (engineCache.restore(boostDir))
+				return;
+			exec(new ProcessBuilder(bootstrapCommand).directory(boostDir.toFile()));
+			engineCache.store(boostDir);
+		}
+		catch (IOException e)
+		{
+			throw new MojoExecutionException("", e);
+		}
+	}
+
+	/**
+	 * @return the compiler cache, or null if it is disabled or unsupported
+	 * @throws MojoExecutionException if the classifier is unexpected
+	 */
+	private CompilerCache getCompilerCache() throws MojoExecutionException
+	{
+		if (compilerLauncher == null || compilerLauncher.isEmpty())
+			return null;
+		Log log = getLog();
+		// Only gcc under Linux has been verified:
+		// * b2 locates the MSVC environment relative to cl.exe, so msvc cannot be wrapped by a launcher.
+		// * bootstrap.sh under Mac may configure a different toolset than darwin, in which case the wrapped
+		//   toolset would go unused.
+		if (!getToolset().equals("gcc"))
+		{
+			if (log.isInfoEnabled())
+				log.info("The compiler cache only supports gcc under Linux, skipping...");
+			return null;
+		}
+		CompilerCache result = new CompilerCache(compilerLauncher, compilerCacheDirectory.toPath(),
+			compilerCacheMaxSize, log);
+		if (!result.isAvailable())
+		{
+			if (log.isInfoEnabled())
+				log.info("Could not execute " + compilerLauncher + ", compiling without a compiler cache");
+			return null;
+		}
+		return result;
+	}
+
+	/**
+	 * @return the b2 toolset associated with the classifier
+	 * @throws MojoExecutionException if the classifier is unexpected
+	 */
+	private String getToolset() throws MojoExecutionException
+	{
+		if (classifier.startsWith("windows-"))
+			return "msvc";
+		if (classifier.startsWith("linux-"))
+			return "gcc";
+		if (classifier.startsWith("mac-"))
+			return "darwin";
+		throw new MojoExecutionException("Unexpected classifier: " + classifier);
 	}
 
 	/**
@@ -135,9 +359,9 @@ public class CompileMojo
 	 * <p/>
 	 *
 	 * @param process the command to execute
-	 * @throws MojoExecutionException if the unpack operation fails
+	 * @throws MojoExecutionException if the command fails
 	 */
-	private void exec(ProcessBuilder process)
+	void exec(ProcessBuilder process)
 		throws MojoExecutionException
 	{
 		Plugin execPlugin = MojoExecutor.plugin("org.codehaus.mojo",
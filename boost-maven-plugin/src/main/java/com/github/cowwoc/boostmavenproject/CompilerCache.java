@@ -0,0 +1,270 @@
+package com.github.cowwoc.boostmavenproject;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiler launcher (e.g. ccache) that caches object files across builds.
+ */
+final class CompilerCache
+{
+	private final String launcher;
+	private final Path directory;
+	private final String maxSize;
+	private final Log log;
+
+	/**
+	 * Creates a new CompilerCache.
+	 *
+	 * @param launcher  the compiler launcher executable
+	 * @param directory the directory to store cached objects in
+	 * @param maxSize   the maximum size of the cache (e.g. {@code 5G})
+	 * @param log       the Maven logger
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if launcher or maxSize are empty
+	 */
+	CompilerCache(String launcher, Path directory, String maxSize, Log log)
+	{
+		Preconditions.checkNotNull(launcher, "launcher may not be null");
+		Preconditions.checkArgument(!launcher.isEmpty(), "launcher may not be empty");
+		Preconditions.checkNotNull(directory, "directory may not be null");
+		Preconditions.checkNotNull(maxSize, "maxSize may not be null");
+		Preconditions.checkArgument(!maxSize.isEmpty(), "maxSize may not be empty");
+		Preconditions.checkNotNull(log, "log may not be null");
+		this.launcher = launcher;
+		this.directory = directory;
+		this.maxSize = maxSize;
+		this.log = log;
+	}
+
+	/**
+	 * @return true if the compiler launcher can be executed
+	 */
+	public boolean isAvailable()
+	{
+		try
+		{
+			run("--version");
+			return true;
+		}
+		catch (IOException e)
+		{
+			log.debug("Could not execute " + launcher, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the environment variables that configure the compiler launcher for a build.
+	 * <p>
+	 * Paths under {@code baseDirectory} are cached relative to it, so builds in different workspaces share
+	 * cached objects.
+	 *
+	 * @param baseDirectory the directory that contains the sources being compiled
+	 * @return the environment variables
+	 */
+	public Map<String, String> getEnvironment(Path baseDirectory)
+	{
+		return ImmutableMap.<String, String>builder().
+			putAll(getCacheEnvironment()).
+			put("CCACHE_BASEDIR", baseDirectory.toAbsolutePath().toString()).
+			build();
+	}
+
+	/**
+	 * @return the environment variables that select the cache directory and its size
+	 */
+	private Map<String, String> getCacheEnvironment()
+	{
+		return ImmutableMap.of("CCACHE_DIR", directory.toAbsolutePath().toString(),
+			"CCACHE_MAXSIZE", maxSize);
+	}
+
+	/**
+	 * Writes a {@code user-config.jam} that wraps a toolset with the compiler launcher.
+	 *
+	 * @param path     the path of the file to write
+	 * @param toolset  the b2 toolset (e.g. {@code gcc})
+	 * @param compiler the compiler command (e.g. {@code g++})
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeUserConfig(Path path, String toolset, String compiler) throws IOException
+	{
+		Files.createDirectories(path.getParent());
+		Files.write(path, getUserConfig(toolset, launcher, compiler).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param toolset  the b2 toolset (e.g. {@code gcc})
+	 * @param launcher the compiler launcher executable
+	 * @param compiler the compiler command (e.g. {@code g++})
+	 * @return the contents of a {@code user-config.jam} that wraps the toolset with the launcher
+	 */
+	static String getUserConfig(String toolset, String launcher, String compiler)
+	{
+		return "using " + toolset + " : : \"" + launcher + "\" " + compiler + " ;\n";
+	}
+
+	/**
+	 * Returns the cache statistics, or null if they cannot be read (e.g. ccache before 3.7 does not support
+	 * {@code --print-stats}). Statistics are informational, so a failure is logged instead of thrown.
+	 *
+	 * @return the cache statistics, or null on failure
+	 */
+	public Statistics takeSnapshot()
+	{
+		try
+		{
+			return getStatistics();
+		}
+		catch (IOException e)
+		{
+			log.warn("Could not read the compiler cache statistics, the hit rate will not be reported", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the cache statistics. The counters are shared by all builds that use the same cache directory,
+	 * so callers should compare two snapshots instead of resetting them. The difference includes the
+	 * compilations of any other build that used the cache in the meantime.
+	 *
+	 * @return the cache statistics
+	 * @throws IOException if the compiler launcher fails
+	 */
+	public Statistics getStatistics() throws IOException
+	{
+		Files.createDirectories(directory);
+		return parseStatistics(run("--print-stats"));
+	}
+
+	/**
+	 * Logs the cache statistics accumulated since a snapshot was taken, by every build that shares the cache
+	 * directory.
+	 *
+	 * @param before the statistics before the build
+	 * @throws IOException if the compiler launcher fails
+	 */
+	public void logStatistics(Statistics before) throws IOException
+	{
+		if (!log.isInfoEnabled())
+			return;
+		Statistics delta = getStatistics().minus(before);
+		long total = delta.hits + delta.misses;
+		if (total == 0)
+		{
+			log.info("Compiler cache: no cacheable compilations in " + directory + " during this build");
+			return;
+		}
+		log.info(String.format("Compiler cache: %d hits, %d misses (%.1f%% hit rate) in %s during this " +
+			"build, including any concurrent builds that share it", delta.hits, delta.misses,
+			delta.hits * 100.0 / total, directory));
+	}
+
+	/**
+	 * Parses the output of {@code --print-stats}.
+	 *
+	 * @param output the output of the compiler launcher
+	 * @return the cache statistics
+	 */
+	static Statistics parseStatistics(String output)
+	{
+		long hits = 0;
+		long misses = 0;
+		for (String line : output.split("\\R"))
+		{
+			// Each line has the format: <key>\t<value>
+			String[] tokens = line.split("\t");
+			if (tokens.length != 2)
+				continue;
+			switch (tokens[0])
+			{
+				case "direct_cache_hit":
+				case "preprocessed_cache_hit":
+				{
+					hits += Long.parseLong(tokens[1].trim());
+					break;
+				}
+				case "cache_miss":
+				{
+					misses += Long.parseLong(tokens[1].trim());
+					break;
+				}
+			}
+		}
+		return new Statistics(hits, misses);
+	}
+
+	/**
+	 * Runs the compiler launcher.
+	 *
+	 * @param arguments the command-line arguments
+	 * @return the output of the process
+	 * @throws IOException if the process cannot be executed or returns a non-zero exit code
+	 */
+	private String run(String... arguments) throws IOException
+	{
+		List<String> command = Lists.newArrayList(launcher);
+		command.addAll(List.of(arguments));
+		ProcessBuilder processBuilder = new ProcessBuilder(command).redirectErrorStream(true);
+		processBuilder.environment().putAll(getCacheEnvironment());
+		Process process = processBuilder.start();
+		String output;
+		try (InputStream in = process.getInputStream())
+		{
+			output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		try
+		{
+			int exitCode = process.waitFor();
+			if (exitCode != 0)
+				throw new IOException(command + " returned exit code " + exitCode + "\n" + output);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for " + command, e);
+		}
+		return output;
+	}
+
+	/**
+	 * A snapshot of the compiler cache counters.
+	 */
+	static final class Statistics
+	{
+		final long hits;
+		final long misses;
+
+		/**
+		 * Creates new Statistics.
+		 *
+		 * @param hits   the number of compilations that were served from the cache
+		 * @param misses the number of compilations that were not served from the cache
+		 */
+		Statistics(long hits, long misses)
+		{
+			this.hits = hits;
+			this.misses = misses;
+		}
+
+		/**
+		 * @param other an earlier snapshot
+		 * @return the counters accumulated since {@code other} was taken
+		 */
+		Statistics minus(Statistics other)
+		{
+			return new Statistics(hits - other.hits, misses - other.misses);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.github.cowwoc.boostmavenproject;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Caches the b2 engine produced by bootstrap so that subsequent builds may skip bootstrapping.
+ * <p>
+ * Entries are keyed by the Boost version, the host platform and the toolset used to bootstrap.
+ */
+final class EngineCache
+{
+	/**
+	 * The name of the configuration file that bootstrap generates alongside the engine.
+	 */
+	private static final String PROJECT_CONFIG = "project-config.jam";
+	private final Path directory;
+	private final List<String> files;
+	private final Log log;
+
+	/**
+	 * Creates a new EngineCache.
+	 *
+	 * @param cacheDirectory the root directory of the cache
+	 * @param boostVersion   the Boost version
+	 * @param toolset        the toolset used to bootstrap
+	 * @param log            the Maven logger
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if boostVersion or toolset are empty
+	 */
+	EngineCache(Path cacheDirectory, String boostVersion, String toolset, Log log)
+	{
+		Preconditions.checkNotNull(cacheDirectory, "cacheDirectory may not be null");
+		Preconditions.checkNotNull(boostVersion, "boostVersion may not be null");
+		Preconditions.checkArgument(!boostVersion.isEmpty(), "boostVersion may not be empty");
+		Preconditions.checkNotNull(toolset, "toolset may not be null");
+		Preconditions.checkArgument(!toolset.isEmpty(), "toolset may not be empty");
+		Preconditions.checkNotNull(log, "log may not be null");
+
+		String osName = System.getProperty("os.name");
+		String host = (osName + "-" + System.getProperty("os.arch")).toLowerCase().replaceAll("[^\\p{Alnum}.]",
+			"-");
+		this.directory = cacheDirectory.resolve(boostVersion).resolve(host).resolve(toolset);
+		String engine;
+		if (osName.toLowerCase().startsWith("windows"))
+			engine = "b2.exe";
+		else
+			engine = "b2";
+		this.files = ImmutableList.of(engine, PROJECT_CONFIG);
+		this.log = log;
+	}
+
+	/**
+	 * Copies a cached engine into the source tree.
+	 *
+	 * @param boostDir the Boost source directory
+	 * @return true on success, false if the cache does not contain an engine
+	 * @throws IOException if an I/O error occurs
+	 */
+	public boolean restore(Path boostDir) throws IOException
+	{
+		for (String file : files)
+		{
+			if (Files.notExists(directory.resolve(file)))
+				return false;
+		}
+		if (log.isInfoEnabled())
+			log.info("Reusing b2 engine from " + directory);
+		for (String file : files)
+		{
+			Files.copy(directory.resolve(file), boostDir.resolve(file), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.COPY_ATTRIBUTES);
+		}
+		return true;
+	}
+
+	/**
+	 * Copies the engine that was bootstrapped in the source tree into the cache.
+	 *
+	 * @param boostDir the Boost source directory
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void store(Path boostDir) throws IOException
+	{
+		for (String file : files)
+		{
+			if (Files.notExists(boostDir.resolve(file)))
+			{
+				log.warn("Could not find " + boostDir.resolve(file) + ", the b2 engine will not be cached");
+				return;
+			}
+		}
+		if (log.isInfoEnabled())
+			log.info("Caching b2 engine in " + directory);
+		Files.createDirectories(directory);
+		for (String file : files)
+		{
+			// Copy to a temporary file first so that concurrent builds never observe a partially-written file
+			Path temporary = Files.createTempFile(directory, file, ".tmp");
+			try
+			{
+				Files.copy(boostDir.resolve(file), temporary, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.COPY_ATTRIBUTES);
+				Files.move(temporary, directory.resolve(file), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally
+			{
+				Files.deleteIfExists(temporary);
+			}
+		}
+	}
+}
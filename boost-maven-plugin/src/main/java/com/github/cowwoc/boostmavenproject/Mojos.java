@@ -33,6 +33,9 @@ import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -67,16 +70,20 @@ public class Mojos
 	 *
 	 * @param url       the file to download
 	 * @param directory the directory to download into
+	 * @param metrics   the build metrics to record the download in
 	 * @param log       the Maven logger
 	 * @return the path of the downloaded file
 	 * @throws MojoExecutionException if an error occurs downloading the file
 	 */
-	public static Path download(URL url, Path directory, Log log) throws MojoExecutionException
+	public static Path download(URL url, Path directory, BuildMetrics metrics, Log log)
+		throws MojoExecutionException
 	{
 		String filename = new File(url.getPath()).getName();
 		Path result = directory.resolve(filename);
 		try
 		{
+			long start = System.nanoTime();
+			long bytes = 0;
 			if (Files.notExists(result))
 			{
 				if (log.isInfoEnabled())
@@ -86,13 +93,14 @@ public class Mojos
 				try (BufferedInputStream in = new BufferedInputStream(connection.getInputStream()))
 				{
 					Files.createDirectories(directory);
-					Files.copy(in, result, StandardCopyOption.REPLACE_EXISTING);
+					bytes = Files.copy(in, result, StandardCopyOption.REPLACE_EXISTING);
 				}
 				finally
 				{
 					connection.disconnect();
 				}
 			}
+			metrics.record("download", System.nanoTime() - start, bytes);
 			return result;
 		}
 		catch (IOException e)
@@ -107,13 +115,14 @@ public class Mojos
 	 * @param source the file to extract
 	 * @param target the directory to extract to
 	 * @param log    the Maven logger
+	 * @return the number of bytes written
 	 * @throws IOException if an I/O error occurs
 	 */
-	public static void extract(Path source, Path target, Log log) throws IOException
+	public static long extract(Path source, Path target, Log log) throws IOException
 	{
 		try
 		{
-			extractCompressor(source, target, log);
+			return extractCompressor(source, target, log);
 		}
 		catch (IOException e)
 		{
@@ -121,7 +130,7 @@ public class Mojos
 				throw e;
 
 			// Perhaps the file is an archive
-			extractArchive(source, target, log);
+			return extractArchive(source, target, log);
 		}
 	}
 
@@ -131,12 +140,14 @@ public class Mojos
 	 * @param source the file to extract
 	 * @param target the directory to extract to
 	 * @param log    the Maven logger
+	 * @return the number of bytes written
 	 * @throws IOException if an I/O error occurs
 	 */
-	private static void extractArchive(Path source, Path target, Log log)
+	private static long extractArchive(Path source, Path target, Log log)
 		throws IOException
 	{
 		Path tempDir = Files.createTempDirectory("boost");
+		long result = 0;
 		FileAttribute<?>[] attributes;
 		try (ArchiveInputStream in = new ArchiveStreamFactory().createArchiveInputStream(
 			new BufferedInputStream(Files.newInputStream(source))))
@@ -177,10 +188,18 @@ public class Mojos
 
 				// Directories are created using the default permissions
 				Files.createDirectories(targetFile.getParent());
-				Files.createFile(targetFile, attributes);
-				Files.copy(in, targetFile, StandardCopyOption.REPLACE_EXISTING);
+				result += Files.copy(in, targetFile, StandardCopyOption.REPLACE_EXISTING);
+
+				// Files.copy() replaces the file, so permissions must be applied after the copy
+				if (attributes.length > 0)
+				{
+					@SuppressWarnings("unchecked")
+					Set<PosixFilePermission> permissions = (Set<PosixFilePermission>) attributes[0].value();
+					Files.setPosixFilePermissions(targetFile, permissions);
+				}
 			}
 			moveDirectory(tempDir, target);
+			return result;
 		}
 		catch (ArchiveException e)
 		{
@@ -260,9 +279,10 @@ public class Mojos
 	 * @param source the file to extract
 	 * @param target the directory to extract to
 	 * @param log    the Maven logger
+	 * @return the number of bytes written
 	 * @throws IOException if an I/O error occurs
 	 */
-	private static void extractCompressor(Path source, Path target, Log log)
+	private static long extractCompressor(Path source, Path target, Log log)
 		throws IOException
 	{
 		String filename = source.getFileName().toString();
@@ -274,10 +294,10 @@ public class Mojos
 		{
 			Path tempDir = Files.createTempDirectory("boost");
 			Path intermediateTarget = tempDir.resolve(nameWithoutExtension);
-			Files.copy(in, intermediateTarget, StandardCopyOption.REPLACE_EXISTING);
+			long result = Files.copy(in, intermediateTarget, StandardCopyOption.REPLACE_EXISTING);
 			if (!nextExtension.isEmpty())
 			{
-				extract(intermediateTarget, target, log);
+				result += extract(intermediateTarget, target, log);
 				deleteRecursively(tempDir);
 			}
 			else
@@ -285,6 +305,7 @@ public class Mojos
 				Files.createDirectories(target.getParent());
 				Files.move(tempDir, target);
 			}
+			return result;
 		}
 		catch (CompressorException e)
 		{
@@ -411,6 +432,57 @@ public class Mojos
 		deleteRecursively(topDirectory);
 	}
 
+	/**
+	 * Returns the attributes of the files in a directory, so that they may be passed to
+	 * {@link #getBytesWritten(Path, Map)} later on.
+	 *
+	 * @param directory the directory
+	 * @return the attributes of each file, or an empty map if the directory does not exist
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static Map<Path, BasicFileAttributes> getFiles(Path directory) throws IOException
+	{
+		Map<Path, BasicFileAttributes> result = new HashMap<>();
+		if (Files.notExists(directory))
+			return result;
+		Files.walkFileTree(directory, new SimpleFileVisitor<>()
+		{
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+			{
+				result.put(file, attrs);
+				return super.visitFile(file, attrs);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Returns the total size of the files in a directory that were created or modified since a snapshot was
+	 * taken. Files that were left unchanged do not count.
+	 *
+	 * @param directory the directory
+	 * @param before    the value returned by {@link #getFiles(Path)} before the files were written
+	 * @return the number of bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static long getBytesWritten(Path directory, Map<Path, BasicFileAttributes> before)
+		throws IOException
+	{
+		long result = 0;
+		for (Entry<Path, BasicFileAttributes> entry : getFiles(directory).entrySet())
+		{
+			BasicFileAttributes after = entry.getValue();
+			BasicFileAttributes previous = before.get(entry.getKey());
+			if (previous == null || previous.size() != after.size() ||
+				!previous.lastModifiedTime().equals(after.lastModifiedTime()))
+			{
+				result += after.size();
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Deletes a path recursively.
 	 *
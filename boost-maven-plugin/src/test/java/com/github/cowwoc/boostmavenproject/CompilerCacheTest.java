@@ -0,0 +1,105 @@
+package com.github.cowwoc.boostmavenproject;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public final class CompilerCacheTest
+{
+	@Test
+	public void parseStatistics()
+	{
+		String output = "stats_updated_timestamp\t1634567890\n" +
+			"direct_cache_hit\t12\n" +
+			"preprocessed_cache_hit\t3\n" +
+			"cache_miss\t5\n" +
+			"called_for_link\t7\n";
+		CompilerCache.Statistics statistics = CompilerCache.parseStatistics(output);
+		assertEquals(statistics.hits, 15);
+		assertEquals(statistics.misses, 5);
+	}
+
+	@Test
+	public void parseStatisticsWithoutCounters()
+	{
+		CompilerCache.Statistics statistics = CompilerCache.parseStatistics("");
+		assertEquals(statistics.hits, 0);
+		assertEquals(statistics.misses, 0);
+	}
+
+	@Test
+	public void statisticsDelta()
+	{
+		CompilerCache.Statistics before = new CompilerCache.Statistics(10, 4);
+		CompilerCache.Statistics after = new CompilerCache.Statistics(25, 9);
+		CompilerCache.Statistics delta = after.minus(before);
+		assertEquals(delta.hits, 15);
+		assertEquals(delta.misses, 5);
+	}
+
+	@Test
+	public void userConfig()
+	{
+		assertEquals(CompilerCache.getUserConfig("gcc", "/usr/bin/ccache", "g++"),
+			"using gcc : : \"/usr/bin/ccache\" g++ ;\n");
+	}
+
+	@Test
+	public void snapshotWithoutStatistics() throws IOException
+	{
+		if (System.getProperty("os.name").startsWith("Windows"))
+			throw new SkipException("The fake launcher is a shell script");
+		Path directory = Files.createTempDirectory("compiler-cache");
+		try
+		{
+			// Mimics ccache 3.6 and earlier, which reject --print-stats
+			Path launcher = directory.resolve("ccache");
+			Files.write(launcher, ("#!/bin/sh\n" +
+				"[ \"$1\" = \"--version\" ] && exit 0\n" +
+				"echo \"unknown option: $1\" >&2\n" +
+				"exit 1\n").getBytes(StandardCharsets.UTF_8));
+			Files.setPosixFilePermissions(launcher, PosixFilePermissions.fromString("rwxr-xr-x"));
+
+			List<CharSequence> warnings = new ArrayList<>();
+			SystemStreamLog log = new SystemStreamLog()
+			{
+				@Override
+				public void warn(CharSequence content, Throwable error)
+				{
+					warnings.add(content);
+				}
+			};
+			CompilerCache cache = new CompilerCache(launcher.toString(), directory.resolve("cache"), "1G", log);
+			assertTrue(cache.isAvailable());
+			assertNull(cache.takeSnapshot());
+			assertEquals(warnings.size(), 1);
+		}
+		finally
+		{
+			Mojos.deleteRecursively(directory);
+		}
+	}
+
+	@Test
+	public void environment()
+	{
+		CompilerCache cache = new CompilerCache("ccache", Path.of("cache"), "1G", new SystemStreamLog());
+		Path boostDir = Path.of("target", "dependency", "boost");
+		Map<String, String> environment = cache.getEnvironment(boostDir);
+		assertEquals(environment.get("CCACHE_BASEDIR"), boostDir.toAbsolutePath().toString());
+		assertEquals(environment.get("CCACHE_MAXSIZE"), "1G");
+	}
+}
@@ -0,0 +1,56 @@
+package com.github.cowwoc.boostmavenproject;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+public final class MojosTest
+{
+	@Test
+	public void bytesWrittenExcludesUnchangedFiles() throws IOException
+	{
+		Path directory = Files.createTempDirectory("mojos");
+		try
+		{
+			Path leftover = directory.resolve("leftover");
+			Files.write(leftover, new byte[100]);
+			Path rewritten = directory.resolve("rewritten");
+			Files.write(rewritten, new byte[10]);
+			Files.setLastModifiedTime(rewritten, FileTime.fromMillis(0));
+			Map<Path, BasicFileAttributes> before = Mojos.getFiles(directory);
+
+			Files.write(rewritten, new byte[10]);
+			Files.write(directory.resolve("created"), new byte[1]);
+			assertEquals(Mojos.getBytesWritten(directory, before), 11);
+		}
+		finally
+		{
+			Mojos.deleteRecursively(directory);
+		}
+	}
+
+	@Test
+	public void bytesWrittenToMissingDirectory() throws IOException
+	{
+		Path directory = Files.createTempDirectory("mojos");
+		try
+		{
+			Path output = directory.resolve("output");
+			Map<Path, BasicFileAttributes> before = Mojos.getFiles(output);
+			Files.createDirectories(output);
+			Files.write(output.resolve("created"), new byte[5]);
+			assertEquals(Mojos.getBytesWritten(output, before), 5);
+		}
+		finally
+		{
+			Mojos.deleteRecursively(directory);
+		}
+	}
+}
@@ -10,6 +10,7 @@ import org.apache.maven.project.MavenProject;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -33,6 +34,12 @@ public class GetSourcesMojo
 	 */
 	@Parameter(property = "project.version")
 	private String projectVersion;
+	/**
+	 * The URL that Boost releases are downloaded from. Releases are expected at
+	 * {@code <sourcesUrl>/<version>/source/boost_<version>.<extension>}.
+	 */
+	@Parameter(property = "boost.sources.url", defaultValue = "https://dl.bintray.com/boostorg/release")
+	private String sourcesUrl;
 
 	@Override
 	public void execute()
@@ -60,18 +67,34 @@ public class GetSourcesMojo
 
 		String boostVersion = Mojos.projectToBoostVersion(projectVersion);
 		Log log = getLog();
+		Path buildDirectory = Paths.get(project.getBuild().getDirectory());
+		BuildMetrics metrics = new BuildMetrics(buildDirectory, log);
+
+		// Some servers reject paths that contain "//"
+		String baseUrl = sourcesUrl;
+		while (baseUrl.endsWith("/"))
+			baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
 		try
 		{
-			Path archive = Mojos.download(new URL("https://dl.bintray.com/boostorg/release/" + boostVersion +
-					"/source/boost_" + boostVersion.replace('.', '_') + "." + extension),
-				Paths.get(project.getBuild().getDirectory()), log);
-			if (Files.notExists(target.resolve("bootstrap.sh")))
+			Path archive = Mojos.download(new URL(baseUrl + "/" + boostVersion + "/source/boost_" +
+				boostVersion.replace('.', '_') + "." + extension), buildDirectory, metrics, log);
+			long start = System.nanoTime();
+			long bytes = 0;
+
+			// Remember which archive was extracted so that a version change replaces the old sources
+			Path marker = target.resolveSibling("boost.archive");
+			String archiveName = archive.getFileName().toString();
+			if (Files.notExists(target.resolve("bootstrap.sh")) || Files.notExists(marker) ||
+				!new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).equals(archiveName))
 			{
 				if (log.isInfoEnabled())
 					log.info("Extracting " + archive + " to " + target);
-				Mojos.extract(archive, target, log);
+				Mojos.deleteRecursively(target);
+				bytes = Mojos.extract(archive, target, log);
 				Mojos.normalizeDirectories(target);
+				Files.write(marker, archiveName.getBytes(StandardCharsets.UTF_8));
 			}
+			metrics.record("extract", System.nanoTime() - start, bytes);
 		}
 		catch (IOException e)
 		{
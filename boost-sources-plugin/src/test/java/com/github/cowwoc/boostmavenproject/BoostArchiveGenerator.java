@@ -0,0 +1,145 @@
+package com.github.cowwoc.boostmavenproject;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates an archive that has the same layout as a Boost source release, but whose bootstrap script and
+ * b2 engine are stubs that produce {@code lib/} output after a configurable delay.
+ * <p>
+ * The contents are derived from the version alone, so the same version always produces the same archive.
+ */
+final class BoostArchiveGenerator
+{
+	/**
+	 * The Boost libraries that the stub b2 engine "compiles".
+	 */
+	private static final List<String> LIBRARIES = List.of("atomic", "chrono", "date_time", "filesystem",
+		"regex", "serialization", "system", "thread");
+	/**
+	 * The number of headers per library.
+	 */
+	private static final int HEADERS_PER_LIBRARY = 20;
+	/**
+	 * The size of each generated source file.
+	 */
+	private static final int SOURCE_SIZE = 4096;
+	/**
+	 * The size of each library that the stub b2 engine writes.
+	 */
+	private static final int LIBRARY_SIZE = 64 * 1024;
+	private final String version;
+	private final double bootstrapDelay;
+	private final double compileDelay;
+
+	/**
+	 * Creates a new BoostArchiveGenerator.
+	 *
+	 * @param version        the Boost version (e.g. {@code 1.71.0})
+	 * @param bootstrapDelay the number of seconds that the stub bootstrap script takes
+	 * @param compileDelay   the number of seconds that the stub b2 engine takes per library
+	 */
+	BoostArchiveGenerator(String version, double bootstrapDelay, double compileDelay)
+	{
+		this.version = version;
+		this.bootstrapDelay = bootstrapDelay;
+		this.compileDelay = compileDelay;
+	}
+
+	/**
+	 * Writes the archive using the directory layout of the Boost download site.
+	 *
+	 * @param mirror the root directory of the mirror
+	 * @return the path of the archive
+	 * @throws IOException if an I/O error occurs
+	 */
+	public Path generate(Path mirror) throws IOException
+	{
+		String topDirectory = "boost_" + version.replace('.', '_');
+		Path result = mirror.resolve(version).resolve("source").resolve(topDirectory + ".tar.gz");
+		Files.createDirectories(result.getParent());
+		Random random = new Random(version.hashCode());
+		try (TarArchiveOutputStream out = new TarArchiveOutputStream(new GzipCompressorOutputStream(
+			new BufferedOutputStream(Files.newOutputStream(result)))))
+		{
+			String prefix = topDirectory + "/";
+			add(out, prefix + "bootstrap.sh", getResource("bootstrap.sh"), 0755);
+			add(out, prefix + "tools/stub/b2.sh", getResource("b2.sh"), 0755);
+			String config = "BOOTSTRAP_DELAY=" + bootstrapDelay + "\n" +
+				"COMPILE_DELAY=" + compileDelay + "\n" +
+				"LIBRARIES=\"" + String.join(" ", LIBRARIES) + "\"\n" +
+				"LIBRARY_SIZE=" + LIBRARY_SIZE + "\n";
+			add(out, prefix + "stub.conf", config.getBytes(StandardCharsets.UTF_8), 0644);
+			for (String library : LIBRARIES)
+			{
+				for (int i = 0; i < HEADERS_PER_LIBRARY; ++i)
+				{
+					add(out, prefix + "boost/" + library + "/header_" + i + ".hpp", getSource(random),
+						0644);
+				}
+				add(out, prefix + "libs/" + library + "/src/" + library + ".cpp", getSource(random), 0644);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param name the name of a stub toolchain script
+	 * @return the contents of the script
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static byte[] getResource(String name) throws IOException
+	{
+		try (InputStream in = BoostArchiveGenerator.class.getResourceAsStream("/stub-toolchain/" + name))
+		{
+			if (in == null)
+				throw new IOException("Could not find stub-toolchain/" + name);
+			return in.readAllBytes();
+		}
+	}
+
+	/**
+	 * @param random a source of randomness
+	 * @return the contents of a source file that compresses about as well as real source code
+	 */
+	private static byte[] getSource(Random random)
+	{
+		StringBuilder result = new StringBuilder(SOURCE_SIZE);
+		while (result.length() < SOURCE_SIZE)
+			result.append("int value_").append(Integer.toHexString(random.nextInt())).append(" = 0;\n");
+		result.setLength(SOURCE_SIZE);
+		return result.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Adds a file to the archive.
+	 *
+	 * @param out     the archive
+	 * @param name    the name of the entry
+	 * @param content the contents of the file
+	 * @param mode    the POSIX permissions of the file
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void add(TarArchiveOutputStream out, String name, byte[] content, int mode)
+		throws IOException
+	{
+		TarArchiveEntry entry = new TarArchiveEntry(name);
+		entry.setSize(content.length);
+		entry.setMode(mode);
+		entry.setModTime(new Date(0));
+		out.putArchiveEntry(entry);
+		out.write(content);
+		out.closeArchiveEntry();
+	}
+}
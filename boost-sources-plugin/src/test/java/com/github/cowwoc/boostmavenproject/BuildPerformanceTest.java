@@ -0,0 +1,421 @@
+package com.github.cowwoc.boostmavenproject;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Runs {@code GetSourcesMojo} and {@code CompileMojo} end to end against a local mirror and a stub
+ * toolchain, and compares the wall time and I/O volume of each phase against
+ * {@code performance-baseline.properties}.
+ * <p>
+ * I/O volume is deterministic, so exceeding its baseline fails the test. Wall time depends on the host, so
+ * exceeding its baseline is only reported. The unpack and package phases run test doubles of
+ * maven-dependency-plugin and maven-jar-plugin, so they are not measured.
+ * <p>
+ * The measurements of each run are written to {@code target/performance-results.properties}. To accept a
+ * new baseline, copy the measurements into the baseline file.
+ */
+public final class BuildPerformanceTest
+{
+	/**
+	 * The number of seconds that the stub bootstrap script takes.
+	 */
+	private static final double BOOTSTRAP_DELAY = 1.0;
+	/**
+	 * The number of seconds that the stub b2 engine takes per library.
+	 */
+	private static final double COMPILE_DELAY = 0.1;
+	private static final List<String> SOURCES_PHASES = List.of("download", "extract");
+	private static final List<String> COMPILER_PHASES = List.of("bootstrap", "compile");
+	private Path root;
+	private FakeBoostServer server;
+	private Properties baseline;
+	private final Properties results = new Properties();
+
+	@BeforeClass
+	public void setUp() throws IOException
+	{
+		if (System.getProperty("os.name").toLowerCase().startsWith("windows"))
+			throw new SkipException("The stub toolchain requires a POSIX shell");
+		root = Files.createTempDirectory("boost-performance");
+		Path mirror = root.resolve("mirror");
+		new BoostArchiveGenerator("1.71.0", BOOTSTRAP_DELAY, COMPILE_DELAY).generate(mirror);
+		new BoostArchiveGenerator("1.72.0", BOOTSTRAP_DELAY, COMPILE_DELAY).generate(mirror);
+		server = new FakeBoostServer(mirror);
+
+		baseline = new Properties();
+		try (InputStream in = BuildPerformanceTest.class.getResourceAsStream(
+			"/performance-baseline.properties"))
+		{
+			baseline.load(in);
+		}
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void tearDown() throws IOException
+	{
+		if (server != null)
+			server.close();
+		if (root != null)
+			Mojos.deleteRecursively(root);
+		if (results.isEmpty())
+			return;
+		Path target = Paths.get(System.getProperty("basedir", "."), "target");
+		Files.createDirectories(target);
+		try (OutputStream out = Files.newOutputStream(target.resolve("performance-results.properties")))
+		{
+			results.store(out, "Measurements of BuildPerformanceTest");
+		}
+	}
+
+	/**
+	 * Builds from empty build directories and an empty engine cache.
+	 */
+	@Test
+	public void cold() throws Exception
+	{
+		long bytesServed = server.getBytesServed();
+		build("cold", "1.71.0-b1-SNAPSHOT");
+		assertEquals(server.getBytesServed() - bytesServed, getResult("cold.sources.download.bytes"));
+		assertTrue(getResult("cold.sources.extract.bytes") > 0);
+		assertBaseline("cold");
+	}
+
+	/**
+	 * Rebuilds the same version, reusing the downloaded archive, the extracted sources and the cached engine.
+	 */
+	@Test(dependsOnMethods = "cold")
+	public void warm() throws Exception
+	{
+		long bytesServed = server.getBytesServed();
+		build("warm", "1.71.0-b1-SNAPSHOT");
+		assertEquals(server.getBytesServed(), bytesServed, "Archive was downloaded again");
+		assertEquals(getResult("warm.sources.extract.bytes"), 0, "Archive was extracted again");
+		assertBaseline("warm");
+	}
+
+	/**
+	 * Builds a new Boost version in the build directories of the previous version.
+	 */
+	@Test(dependsOnMethods = "warm")
+	public void versionBump() throws Exception
+	{
+		long bytesServed = server.getBytesServed();
+		build("versionBump", "1.72.0-b1-SNAPSHOT");
+		assertEquals(server.getBytesServed() - bytesServed, getResult("versionBump.sources.download.bytes"));
+		assertTrue(getResult("versionBump.sources.extract.bytes") > 0, "Sources of the old version were reused");
+		assertBaseline("versionBump");
+	}
+
+	/**
+	 * Runs the build of the {@code boost-sources} and {@code boost-compiler} modules.
+	 *
+	 * @param scenario       the name of the scenario
+	 * @param projectVersion the project version
+	 * @throws Exception if the build fails
+	 */
+	private void build(String scenario, String projectVersion) throws Exception
+	{
+		long start = System.nanoTime();
+
+		// boost-sources
+		Path sourcesBuild = root.resolve("boost-sources/target");
+		GetSourcesMojo getSources = new GetSourcesMojo();
+		set(getSources, "classifier", "linux");
+		set(getSources, "project", createProject(sourcesBuild));
+		set(getSources, "projectVersion", projectVersion);
+		// The trailing slash mimics a mirror URL as users typically write it
+		set(getSources, "sourcesUrl", server.getUrl());
+		getSources.execute();
+
+		// maven-jar-plugin packages the extracted sources
+		Path sourcesJar = sourcesBuild.resolve("boost-sources-linux.jar");
+		pack(sourcesBuild.resolve("dependency/boost"), path -> true, sourcesJar);
+
+		// boost-compiler
+		Path compilerBuild = root.resolve("boost-compiler/target");
+		CompileMojo compile = new StubCompileMojo(sourcesJar);
+		set(compile, "classifier", "linux-x86_64-gcc-release");
+		set(compile, "sourcesClassifier", "linux");
+		set(compile, "project", createProject(compilerBuild));
+		set(compile, "projectGroupId", "com.github.cowwoc.boost-maven-project");
+		set(compile, "projectVersion", projectVersion);
+		set(compile, "compilerLauncher", "");
+		set(compile, "engineCacheDirectory", root.resolve("engine-cache").toFile());
+		compile.execute();
+
+		// maven-jar-plugin packages the headers and libraries, using the includes of boost-compiler
+		pack(compilerBuild.resolve("dependency/boost"), path -> path.startsWith("boost/") ||
+			path.matches("lib/[^/]+\\.(so|a)"), compilerBuild.resolve("boost-compiler.jar"));
+
+		results.setProperty(scenario + ".total.millis",
+			String.valueOf((System.nanoTime() - start) / 1_000_000));
+		collect(scenario, "sources", sourcesBuild, SOURCES_PHASES);
+		collect(scenario, "compiler", compilerBuild, COMPILER_PHASES);
+	}
+
+	/**
+	 * Copies the metrics of a module into the results.
+	 *
+	 * @param scenario       the name of the scenario
+	 * @param module         the name of the module
+	 * @param buildDirectory the build directory of the module
+	 * @param phases         the phases to copy
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void collect(String scenario, String module, Path buildDirectory, List<String> phases)
+		throws IOException
+	{
+		BuildMetrics metrics = new BuildMetrics(buildDirectory, new SystemStreamLog());
+		for (String phase : phases)
+		{
+			String prefix = scenario + "." + module + "." + phase;
+			results.setProperty(prefix + ".millis", String.valueOf(metrics.getMillis(phase)));
+			results.setProperty(prefix + ".bytes", String.valueOf(metrics.getBytes(phase)));
+		}
+	}
+
+	/**
+	 * Compares the measurements of a scenario against the baseline. Fails if the I/O volume exceeds its
+	 * baseline by more than the allowed tolerance, and logs a warning if the wall time does.
+	 *
+	 * @param scenario the name of the scenario
+	 */
+	private void assertBaseline(String scenario)
+	{
+		Log log = new SystemStreamLog();
+		double millisTolerance = Double.parseDouble(baseline.getProperty("tolerance.millis"));
+		long millisSlack = Long.parseLong(baseline.getProperty("slack.millis"));
+		double bytesTolerance = Double.parseDouble(baseline.getProperty("tolerance.bytes"));
+		List<String> regressions = new ArrayList<>();
+		List<String> slowdowns = new ArrayList<>();
+		for (String key : results.stringPropertyNames().stream().filter(key -> key.startsWith(scenario + ".")).
+			sorted().collect(Collectors.toList()))
+		{
+			String expected = baseline.getProperty(key);
+			if (expected == null)
+			{
+				regressions.add(key + " is missing from the baseline");
+				continue;
+			}
+			long actual = getResult(key);
+			if (key.endsWith(".millis"))
+			{
+				long limit = (long) (Long.parseLong(expected) * (1 + millisTolerance)) + millisSlack;
+				if (actual > limit)
+					slowdowns.add(key + " = " + actual + ", baseline = " + expected + ", limit = " + limit);
+			}
+			else
+			{
+				long limit = (long) (Long.parseLong(expected) * (1 + bytesTolerance));
+				if (actual > limit)
+					regressions.add(key + " = " + actual + ", baseline = " + expected + ", limit = " + limit);
+			}
+		}
+		if (!slowdowns.isEmpty())
+			log.warn("Wall time exceeds the baseline:\n" + String.join("\n", slowdowns));
+		if (!regressions.isEmpty())
+			fail("Performance regressions:\n" + String.join("\n", regressions));
+	}
+
+	/**
+	 * @param key a result key
+	 * @return the value of the result
+	 */
+	private long getResult(String key)
+	{
+		return Long.parseLong(results.getProperty(key));
+	}
+
+	/**
+	 * @param buildDirectory the build directory
+	 * @return a project that builds into {@code buildDirectory}
+	 */
+	private static MavenProject createProject(Path buildDirectory)
+	{
+		Build build = new Build();
+		build.setDirectory(buildDirectory.toString());
+		MavenProject result = new MavenProject();
+		result.setBuild(build);
+		return result;
+	}
+
+	/**
+	 * Sets a mojo parameter, much like Maven injects it.
+	 *
+	 * @param mojo  the mojo
+	 * @param name  the name of the field
+	 * @param value the value of the field
+	 * @throws ReflectiveOperationException if the field does not exist
+	 */
+	private static void set(Object mojo, String name, Object value) throws ReflectiveOperationException
+	{
+		for (Class<?> type = mojo.getClass(); type != null; type = type.getSuperclass())
+		{
+			try
+			{
+				Field field = type.getDeclaredField(name);
+				field.setAccessible(true);
+				field.set(mojo, value);
+				return;
+			}
+			catch (NoSuchFieldException e)
+			{
+				// Try the superclass
+			}
+		}
+		throw new NoSuchFieldException(mojo.getClass().getName() + "." + name);
+	}
+
+	/**
+	 * Packages a directory into a JAR file, preserving POSIX permissions like maven-jar-plugin does.
+	 *
+	 * @param directory the directory to package
+	 * @param includes  returns true if a path, relative to {@code directory}, should be packaged
+	 * @param jar       the JAR file to write
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void pack(Path directory, Predicate<String> includes, Path jar) throws IOException
+	{
+		List<Path> files;
+		try (Stream<Path> stream = Files.walk(directory))
+		{
+			files = stream.filter(Files::isRegularFile).
+				filter(path -> includes.test(directory.relativize(path).toString().replace('\\', '/'))).
+				sorted().collect(Collectors.toList());
+		}
+		try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(Files.newOutputStream(jar)))
+		{
+			for (Path file : files)
+			{
+				ZipArchiveEntry entry = new ZipArchiveEntry(file.toFile(),
+					directory.relativize(file).toString().replace('\\', '/'));
+				entry.setUnixMode(getUnixMode(Files.getPosixFilePermissions(file)));
+				out.putArchiveEntry(entry);
+				Files.copy(file, out);
+				out.closeArchiveEntry();
+			}
+		}
+	}
+
+	/**
+	 * @param permissions POSIX permissions
+	 * @return the equivalent Unix mode of a regular file
+	 */
+	private static int getUnixMode(Set<PosixFilePermission> permissions)
+	{
+		int result = 0;
+		for (PosixFilePermission permission : permissions)
+			result |= 1 << (8 - permission.ordinal());
+		return 0100000 | result;
+	}
+
+	/**
+	 * @param mode a Unix mode
+	 * @return the equivalent POSIX permissions
+	 */
+	private static Set<PosixFilePermission> getPermissions(int mode)
+	{
+		Set<PosixFilePermission> result = EnumSet.noneOf(PosixFilePermission.class);
+		for (PosixFilePermission permission : PosixFilePermission.values())
+		{
+			if ((mode & (1 << (8 - permission.ordinal()))) != 0)
+				result.add(permission);
+		}
+		return result;
+	}
+
+	/**
+	 * A {@code CompileMojo} that unpacks the sources JAR directly and runs commands without
+	 * exec-maven-plugin, neither of which is available outside of a Maven session.
+	 */
+	private static final class StubCompileMojo extends CompileMojo
+	{
+		private final Path sourcesJar;
+
+		/**
+		 * @param sourcesJar the JAR file that contains the Boost sources
+		 */
+		StubCompileMojo(Path sourcesJar)
+		{
+			this.sourcesJar = sourcesJar;
+		}
+
+		@Override
+		void unpack(Path boostDir) throws MojoExecutionException
+		{
+			// Like maven-dependency-plugin, read the central directory because that is where the permissions
+			// are stored
+			try (ZipFile zip = new ZipFile(sourcesJar.toFile()))
+			{
+				for (ZipArchiveEntry entry : Collections.list(zip.getEntries()))
+				{
+					Path target = boostDir.resolve(entry.getName());
+					Files.createDirectories(target.getParent());
+					try (InputStream in = zip.getInputStream(entry))
+					{
+						Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+					}
+					Files.setPosixFilePermissions(target, getPermissions(entry.getUnixMode()));
+				}
+			}
+			catch (IOException e)
+			{
+				throw new MojoExecutionException("", e);
+			}
+		}
+
+		@Override
+		void exec(ProcessBuilder process) throws MojoExecutionException
+		{
+			try
+			{
+				int exitCode = process.inheritIO().start().waitFor();
+				if (exitCode != 0)
+					throw new MojoExecutionException(process.command() + " returned exit code " + exitCode);
+			}
+			catch (IOException e)
+			{
+				throw new MojoExecutionException("", e);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new MojoExecutionException("", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.github.cowwoc.boostmavenproject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local HTTP server that stands in for the Boost download site.
+ */
+final class FakeBoostServer implements AutoCloseable
+{
+	private final Path root;
+	private final HttpServer server;
+	private final AtomicLong bytesServed = new AtomicLong();
+
+	/**
+	 * Starts a new server on an ephemeral port.
+	 *
+	 * @param root the directory to serve files from
+	 * @throws IOException if the server cannot be started
+	 */
+	FakeBoostServer(Path root) throws IOException
+	{
+		this.root = root.toAbsolutePath().normalize();
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	/**
+	 * @return the URL of the server's root directory
+	 */
+	public String getUrl()
+	{
+		InetSocketAddress address = server.getAddress();
+		return "http://" + address.getHostString() + ":" + address.getPort() + "/";
+	}
+
+	/**
+	 * @return the number of bytes served since the server started
+	 */
+	public long getBytesServed()
+	{
+		return bytesServed.get();
+	}
+
+	/**
+	 * Responds to a request.
+	 *
+	 * @param exchange the HTTP exchange
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void handle(HttpExchange exchange) throws IOException
+	{
+		try
+		{
+			Path file = root.resolve(exchange.getRequestURI().getPath().substring(1)).normalize();
+			if (!file.startsWith(root) || !Files.isRegularFile(file))
+			{
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+			exchange.sendResponseHeaders(200, Files.size(file));
+			try (OutputStream out = exchange.getResponseBody())
+			{
+				bytesServed.addAndGet(Files.copy(file, out));
+			}
+		}
+		finally
+		{
+			exchange.close();
+		}
+	}
+
+	@Override
+	public void close()
+	{
+		server.stop(0);
+	}
+}
@@ -0,0 +1,12 @@
+#!/bin/sh
+# Stands in for b2: writes a shared and a static library for each Boost library, after a configurable
+# delay per library. Command-line arguments are ignored.
+set -e
+. ./stub.conf
+mkdir -p lib
+for library in $LIBRARIES
+do
+	sleep "$COMPILE_DELAY"
+	head -c "$LIBRARY_SIZE" /dev/urandom > "lib/libboost_$library.so"
+	head -c "$LIBRARY_SIZE" /dev/urandom > "lib/libboost_$library.a"
+done
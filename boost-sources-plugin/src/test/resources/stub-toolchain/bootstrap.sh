@@ -0,0 +1,8 @@
+#!/bin/sh
+# Stands in for Boost's bootstrap.sh: "builds" the b2 engine after a configurable delay.
+set -e
+. ./stub.conf
+sleep "$BOOTSTRAP_DELAY"
+cp tools/stub/b2.sh b2
+chmod +x b2
+echo "using gcc ;" > project-config.jam